@@ -22,10 +22,10 @@
 package com.tekle.oss.android.animation;  
 
 import android.view.View;
+import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.AccelerateInterpolator;
 import android.view.animation.AlphaAnimation;
 import android.view.animation.Animation;
-import android.view.animation.AnimationSet;
 import android.view.animation.DecelerateInterpolator;
 import android.view.animation.Interpolator;
 import android.view.animation.TranslateAnimation;
@@ -103,11 +103,69 @@ public class AnimationFactory {
                 return null;
 			}
 		}
+
+		/**
+		 * The axis the views rotate around for this direction.
+		 *
+		 * @return {@link FlipAnimation#ROTATION_X} for vertical flips, {@link FlipAnimation#ROTATION_Y} otherwise
+		 */
+		public int getRotationDirection() {
+			switch(this) {
+            case TOP_BOTTOM:
+            case BOTTOM_TOP:
+                return FlipAnimation.ROTATION_X;
+            default:
+                return FlipAnimation.ROTATION_Y;
+			}
+		}
+
+		/**
+		 * Whether the second (i.e. "to") view is the one showing at the given point of a complete flip.
+		 * Only the side being shown needs to be drawn.
+		 *
+		 * @param progress the progress of the complete flip (from 0..1)
+		 * @return {@code true} once the flip is past its half-way (edge-on) point
+		 */
+		public boolean isSecondViewShown(float progress) {
+			return progress >= 0.5f;
+		}
+
+		/**
+		 * The rotation, in degrees, of the side being shown at the given point of a complete flip. The first half rotates the
+		 * first view away from 0 and the second half rotates the second view back to 0, the same angles a pair of
+		 * {@link FlipAnimation} uses. The sign matches {@code View#setRotationX}/{@code View#setRotationY} (and, thus, a
+		 * Compose {@code graphicsLayer}), so this can drive a property animation directly without a {@link FlipAnimation}.
+		 *
+		 * @param progress the progress of the complete flip (from 0..1)
+		 * @return the rotation of the side being shown around {@link #getRotationDirection()}
+		 */
+		public float getDegrees(float progress) {
+			if (isSecondViewShown(progress)) {
+				final float iter = (progress - 0.5f) * 2;
+				return getStartDegreeForSecondView() + (getEndDegreeForSecondView() - getStartDegreeForSecondView()) * iter;
+			} else {
+				final float iter = progress * 2;
+				return getStartDegreeForFirstView() + (getEndDegreeForFirstView() - getStartDegreeForFirstView()) * iter;
+			}
+		}
+
+		/**
+		 * The zoom level of the side being shown at the given point of a complete flip: the first view zooms out to
+		 * {@code max} and the second view zooms back in (see {@link FlipAnimation.ScaleUpDownEnum#SCALE_CYCLE}).
+		 *
+		 * @param max the maximum desired zoom level (e.g. {@link FlipAnimation#SCALE_DEFAULT})
+		 * @param progress the progress of the complete flip (from 0..1)
+		 * @return the current zoom level
+		 */
+		public float getScale(float max, float progress) {
+			return FlipAnimation.ScaleUpDownEnum.SCALE_CYCLE.getScale(max, progress);
+		}
 	};
 	 
 	
 	/**
 	 * Create a pair of {@link FlipAnimation} that can be used to flip 3D transition from {@code fromView} to {@code toView}. A typical use case is with {@link ViewAnimator} as an out and in transition.
+	 * The animations don't fill after they end, so a hidden view's finished animation is cleared and the view is neither drawn nor touched.
 	 * 
 	 * NOTE: Avoid using this method. Instead, use {@link #flipTransition}.
 	 *  
@@ -128,17 +186,9 @@ public class AnimationFactory {
 
         FlipAnimation outFlip= new FlipAnimation(dir.getStartDegreeForFirstView(), dir.getEndDegreeForFirstView(), centerX, centerY, FlipAnimation.SCALE_DEFAULT, FlipAnimation.ScaleUpDownEnum.SCALE_DOWN);
 		outFlip.setDuration(duration);
-		outFlip.setFillAfter(true);
 		outFlip.setInterpolator(interpolator==null?new AccelerateInterpolator():interpolator);
-
-        if (dir == FlipDirection.BOTTOM_TOP || dir == FlipDirection.TOP_BOTTOM)
-            outFlip.setDirection(FlipAnimation.ROTATION_X);
-        else
-            outFlip.setDirection(FlipAnimation.ROTATION_Y);
-
-		AnimationSet outAnimation = new AnimationSet(true);
-		outAnimation.addAnimation(outFlip); 
-		result[0] = outAnimation; 
+		outFlip.setDirection(dir.getRotationDirection());
+		result[0] = outFlip;
 		
 		// Uncomment the following if toView has its layout established (not the case if using ViewFlipper and on first show)
 		//centerX = toView.getWidth() / 2.0f;
@@ -146,18 +196,10 @@ public class AnimationFactory {
 
         FlipAnimation inFlip = new FlipAnimation(dir.getStartDegreeForSecondView(), dir.getEndDegreeForSecondView(), centerX, centerY, FlipAnimation.SCALE_DEFAULT, FlipAnimation.ScaleUpDownEnum.SCALE_UP);
 		inFlip.setDuration(duration);
-		inFlip.setFillAfter(true);
 		inFlip.setInterpolator(interpolator == null ? new AccelerateInterpolator() : interpolator);
 		inFlip.setStartOffset(duration);
-
-        if (dir == FlipDirection.BOTTOM_TOP || dir == FlipDirection.TOP_BOTTOM)
-            inFlip.setDirection(FlipAnimation.ROTATION_X);
-        else
-            inFlip.setDirection(FlipAnimation.ROTATION_Y);
-
-		AnimationSet inAnimation = new AnimationSet(true); 
-		inAnimation.addAnimation(inFlip); 
-		result[1] = inAnimation; 
+		inFlip.setDirection(dir.getRotationDirection());
+		result[1] = inFlip;
 		
 		return result;
 		
@@ -183,21 +225,318 @@ public class AnimationFactory {
 	 * @param duration the transition duration in milliseconds
 	 */
 	public static void flipTransition(final ViewAnimator viewAnimator, FlipDirection dir, long duration) {   
+		flipTransition(viewAnimator, dir, duration, false);
+	}
+
+	/**
+	 * Flip to the next view of the {@code ViewAnimator}'s subviews. A call to this method will initiate a {@link FlipAnimation} to show the next View.  
+	 * If the currently visible view is the last view, flip direction will be reversed for this transition.
+	 * 
+	 * If {@code layoutStable} is set, the views are swapped b/n {@link View#VISIBLE} and {@link View#INVISIBLE} instead of going 
+	 * through {@link ViewAnimator#showNext()}, whose {@link View#GONE} toggles trigger a layout pass on every flip. The first such 
+	 * flip makes the hidden subviews {@link View#INVISIBLE} (a single layout pass); from then on the {@code ViewAnimator}'s 
+	 * {@link ViewAnimator#getDisplayedChild()} is no longer updated, so keep flipping it with {@code layoutStable} set.
+	 *  
+	 * @param viewAnimator the {@code ViewAnimator}
+	 * @param dir the direction of flip
+	 * @param duration the transition duration in milliseconds
+	 * @param layoutStable whether to flip without triggering a layout pass
+	 */
+	public static void flipTransition(final ViewAnimator viewAnimator, FlipDirection dir, long duration, boolean layoutStable) {   
 		
-		final View fromView = viewAnimator.getCurrentView();
-		final int currentIndex = viewAnimator.getDisplayedChild();
+		final int currentIndex = displayedChild(viewAnimator, layoutStable);
 		final int nextIndex = (currentIndex + 1)%viewAnimator.getChildCount();
 		
+		final View fromView = viewAnimator.getChildAt(currentIndex);
 		final View toView = viewAnimator.getChildAt(nextIndex);
 
-		Animation[] animc = AnimationFactory.flipAnimation(fromView, toView, (nextIndex < currentIndex?dir.theOtherDirection():dir), duration, null);
+		Animation[] animc = AnimationFactory.flipAnimation(fromView, toView, (nextIndex < currentIndex?dir.theOtherDirection():dir), duration, new AccelerateDecelerateInterpolator());
   
-		viewAnimator.setOutAnimation(animc[0]);
-		viewAnimator.setInAnimation(animc[1]);
-		
-		viewAnimator.showNext();   
+		showNext(viewAnimator, fromView, toView, animc[0], animc[1], layoutStable);
 	}
 	
+	/**
+	 * Flip to the next view of the {@code ViewAnimator}'s subviews, drawing the transition from {@code atlas}: both faces are drawn
+	 * from their snapshots instead of the live views, and the neighbors of the newly shown view are prefetched once the flip is over,
+	 * so rapid flipping neither redraws nor allocates per transition. If the snapshots aren't available (see {@link SnapshotAtlas})
+	 * the live views are flipped instead.
+	 *
+	 * @param viewAnimator the {@code ViewAnimator}
+	 * @param dir the direction of flip
+	 * @param duration the transition duration in milliseconds
+	 * @param atlas the snapshot cache of the {@code ViewAnimator}'s subviews (may be {@code null})
+	 * @see SnapshotAtlas
+	 */
+	public static void flipTransition(final ViewAnimator viewAnimator, FlipDirection dir, long duration, SnapshotAtlas atlas) {
+		flipTransition(viewAnimator, dir, duration, atlas, false);
+	}
+
+	/**
+	 * Flip to the next view of the {@code ViewAnimator}'s subviews, drawing the transition from {@code atlas} and optionally without 
+	 * triggering a layout pass (see {@link #flipTransition(ViewAnimator, FlipDirection, long, boolean)}).
+	 *
+	 * @param viewAnimator the {@code ViewAnimator}
+	 * @param dir the direction of flip
+	 * @param duration the transition duration in milliseconds
+	 * @param atlas the snapshot cache of the {@code ViewAnimator}'s subviews (may be {@code null})
+	 * @param layoutStable whether to flip without triggering a layout pass
+	 * @see #flipTransition(ViewAnimator, FlipDirection, long, SnapshotAtlas)
+	 */
+	public static void flipTransition(final ViewAnimator viewAnimator, FlipDirection dir, long duration, SnapshotAtlas atlas, boolean layoutStable) {
+		if (atlas == null) {
+			flipTransition(viewAnimator, dir, duration, layoutStable);
+			return;
+		}
+
+		// an interrupted atlas flip hands its views back first, so that the shown view is visible again
+		atlas.endFlip(viewAnimator);
+
+		final int currentIndex = displayedChild(viewAnimator, layoutStable);
+		final int nextIndex = (currentIndex + 1)%viewAnimator.getChildCount();
+
+		final View fromView = viewAnimator.getChildAt(currentIndex);
+		final View toView = viewAnimator.getChildAt(nextIndex);
+
+		Animation[] animc = AnimationFactory.flipAnimation(fromView, toView, (nextIndex < currentIndex?dir.theOtherDirection():dir), duration, new AccelerateDecelerateInterpolator());
+
+		if (!atlas.prepareFlip(viewAnimator, fromView, toView)) {
+			showNext(viewAnimator, fromView, toView, animc[0], animc[1], layoutStable);
+			return;
+		}
+
+		// the atlas draws both faces, so the views themselves aren't animated
+		showNext(viewAnimator, fromView, toView, null, null, layoutStable);
+		atlas.startFlip(viewAnimator, fromView, animc[0], toView, animc[1]);
+	}
+
+	/**
+	 * Create a pair of spring-driven {@link FlipAnimation} that can be used to flip 3D transition from {@code fromView} to {@code toView}.
+	 * A single spring drives the whole transition: the "from" view is shown until the spring passes edge-on and the "to" view takes 
+	 * over from there at the same angular velocity. The "to" view starts at {@code result[1].getStartOffset()} and the transition 
+	 * settles after {@code result[1].getStartOffset() + result[1].getDuration()} milliseconds.
+	 *
+	 * NOTE: Avoid using this method. Instead, use {@link #springFlipTransition}.
+	 *
+	 * @param fromView the view transition away from
+	 * @param toView the view transition to
+	 * @param dir the flip direction
+	 * @param stiffness the spring stiffness (see {@link SpringInterpolator})
+	 * @param dampingRatio the spring damping ratio (see {@link SpringInterpolator})
+	 * @param angularVelocity the starting angular velocity in degrees per second, e.g. {@link FlipAnimation#getAngularVelocity()} of an interrupted flip
+	 * @return the out and in animations
+	 */
+	public static Animation[] springFlipAnimation(final View fromView, final View toView, FlipDirection dir, float stiffness, float dampingRatio, float angularVelocity) {
+		return springFlipAnimation(fromView, toView, dir, stiffness, dampingRatio, dir.getStartDegreeForFirstView(), angularVelocity);
+	}
+
+	/**
+	 * Create a pair of spring-driven {@link FlipAnimation} that continues from where {@code fromView} currently is, e.g. 
+	 * {@link FlipAnimation#getCurrentDegrees()} of an interrupted flip.
+	 *
+	 * @param fromView the view transition away from
+	 * @param toView the view transition to
+	 * @param dir the flip direction
+	 * @param stiffness the spring stiffness (see {@link SpringInterpolator})
+	 * @param dampingRatio the spring damping ratio (see {@link SpringInterpolator})
+	 * @param fromDegrees the current rotation of {@code fromView} in degrees
+	 * @param angularVelocity the starting angular velocity in degrees per second
+	 * @return the out and in animations
+	 * @see #springFlipAnimation(View, View, FlipDirection, float, float, float)
+	 */
+	public static Animation[] springFlipAnimation(final View fromView, final View toView, FlipDirection dir, float stiffness, float dampingRatio, float fromDegrees, float angularVelocity) {
+		final float sign = Math.signum(dir.getEndDegreeForFirstView() - dir.getStartDegreeForFirstView());
+
+		return springFlipAnimation(fromView, dir, stiffness, dampingRatio, Math.min((fromDegrees - dir.getStartDegreeForFirstView()) * sign, 90), angularVelocity * sign);
+	}
+
+	/**
+	 * Creates the spring flip pair from a position along the whole transition, measured as one 180 degree travel: 0 is the "from" 
+	 * view face on, 90 is edge-on and 180 is the "to" view face on. A position past 90 means the "to" view is already flipping in.
+	 *
+	 * @param velocity the velocity along the travel in degrees per second
+	 */
+	private static Animation[] springFlipAnimation(final View fromView, FlipDirection dir, float stiffness, float dampingRatio, float position, float velocity) {
+		Animation[] result = new Animation[2];
+		final float centerX = fromView.getWidth() / 2.0f;
+		final float centerY = fromView.getHeight() / 2.0f;
+
+		final float sign = Math.signum(dir.getEndDegreeForFirstView() - dir.getStartDegreeForFirstView());
+		final float travel = Math.max(180 - position, 1);
+
+		SpringInterpolator spring = new SpringInterpolator(stiffness, dampingRatio, velocity / travel);
+		final float edgeOn = position < 90 ? spring.findInput((90 - position) / travel) : 0;
+		final long duration = spring.getSettleDuration();
+		final long outDuration = Math.round(edgeOn * duration);
+
+		final float outDegrees = position < 90 ? dir.getStartDegreeForFirstView() + position * sign : dir.getEndDegreeForFirstView();
+		final float inDegrees = position > 90 ? dir.getStartDegreeForSecondView() + (position - 90) * sign : dir.getStartDegreeForSecondView();
+
+		FlipAnimation outFlip = new FlipAnimation(outDegrees, dir.getEndDegreeForFirstView(), centerX, centerY, FlipAnimation.SCALE_DEFAULT, FlipAnimation.ScaleUpDownEnum.SCALE_DOWN);
+		outFlip.setDuration(outDuration);
+		outFlip.setInterpolator(spring.segment(0, edgeOn));
+		outFlip.setDirection(dir.getRotationDirection());
+		result[0] = outFlip;
+
+		FlipAnimation inFlip = new FlipAnimation(inDegrees, dir.getEndDegreeForSecondView(), centerX, centerY, FlipAnimation.SCALE_DEFAULT, FlipAnimation.ScaleUpDownEnum.SCALE_UP);
+		inFlip.setDuration(duration - outDuration);
+		inFlip.setInterpolator(spring.segment(edgeOn, 1));
+		inFlip.setStartOffset(outDuration);
+		inFlip.setDirection(dir.getRotationDirection());
+		result[1] = inFlip;
+
+		return result;
+	}
+
+	/**
+	 * Flip to the next view of the {@code ViewAnimator}'s subviews using the default spring (see {@link SpringInterpolator}).
+	 *
+	 * @param viewAnimator the {@code ViewAnimator}
+	 * @param dir the direction of flip
+	 * @return the time, in milliseconds, until the transition settles
+	 * @see #springFlipTransition(ViewAnimator, FlipDirection, float, float)
+	 */
+	public static long springFlipTransition(final ViewAnimator viewAnimator, FlipDirection dir) {
+		return springFlipTransition(viewAnimator, dir, SpringInterpolator.STIFFNESS_DEFAULT, SpringInterpolator.DAMPING_RATIO_DEFAULT);
+	}
+
+	/**
+	 * Flip to the next view of the {@code ViewAnimator}'s subviews using a spring. If a flip is still running, the face on screen 
+	 * continues from its current angle and angular velocity, so repeated or interrupted flips neither jump nor restart from rest. 
+	 * The face on screen is the current view, or the view still flipping out ahead of it if the current view is still edge-on.
+	 * If the currently visible view is the last view, flip direction will be reversed for this transition.
+	 *
+	 * @param viewAnimator the {@code ViewAnimator}
+	 * @param dir the direction of flip
+	 * @param stiffness the spring stiffness (see {@link SpringInterpolator})
+	 * @param dampingRatio the spring damping ratio (see {@link SpringInterpolator})
+	 * @return the time, in milliseconds, until the transition settles
+	 */
+	public static long springFlipTransition(final ViewAnimator viewAnimator, FlipDirection dir, float stiffness, float dampingRatio) {
+		return springFlipTransition(viewAnimator, dir, stiffness, dampingRatio, false);
+	}
+
+	/**
+	 * Flip to the next view of the {@code ViewAnimator}'s subviews using a spring, optionally without triggering a layout pass 
+	 * (see {@link #flipTransition(ViewAnimator, FlipDirection, long, boolean)}).
+	 *
+	 * @param viewAnimator the {@code ViewAnimator}
+	 * @param dir the direction of flip
+	 * @param stiffness the spring stiffness (see {@link SpringInterpolator})
+	 * @param dampingRatio the spring damping ratio (see {@link SpringInterpolator})
+	 * @param layoutStable whether to flip without triggering a layout pass
+	 * @return the time, in milliseconds, until the transition settles
+	 * @see #springFlipTransition(ViewAnimator, FlipDirection, float, float)
+	 */
+	public static long springFlipTransition(final ViewAnimator viewAnimator, FlipDirection dir, float stiffness, float dampingRatio, boolean layoutStable) {
+
+		final int currentIndex = displayedChild(viewAnimator, layoutStable);
+		final int nextIndex = (currentIndex + 1)%viewAnimator.getChildCount();
+
+		final View fromView = viewAnimator.getChildAt(currentIndex);
+		final View toView = viewAnimator.getChildAt(nextIndex);
+
+		final FlipDirection flipDir = (nextIndex < currentIndex?dir.theOtherDirection():dir);
+		final float sign = Math.signum(flipDir.getEndDegreeForFirstView() - flipDir.getStartDegreeForFirstView());
+
+		// the face on screen: the current view, unless it's still waiting (edge-on) for the view flipping out ahead of it
+		View face = fromView;
+		FlipAnimation running = runningFlip(fromView);
+		if (running != null && running.isWaiting()) {
+			running = null;
+			for (int i = 0; i < viewAnimator.getChildCount(); i++) {
+				final FlipAnimation other = runningFlip(viewAnimator.getChildAt(i));
+				if (other != null && !other.isWaiting()) {
+					face = viewAnimator.getChildAt(i);
+					running = other;
+					break;
+				}
+			}
+		}
+
+		float position = 0;
+		float velocity = 0;
+		float margin = 90;
+		if (running != null && face == toView) {
+			// flipping back to the view that was flipping out: it flips in from where it is, and mustn't swing back past edge-on
+			position = 90 + (running.getCurrentDegrees() - flipDir.getStartDegreeForSecondView()) * sign;
+			position = Math.max(90, Math.min(position, 180));
+			velocity = running.getAngularVelocity() * sign;
+			margin = position - 90;
+		} else if (running != null) {
+			// the face flips out from where it is, and mustn't swing back past its own edge-on
+			position = Math.max(-90, Math.min((running.getCurrentDegrees() - flipDir.getStartDegreeForFirstView()) * sign, 90));
+			velocity = running.getAngularVelocity() * sign;
+			margin = position + 90;
+		}
+		// an undamped spring moving away from its target at v travels at most v/sqrt(stiffness) before it turns back
+		velocity = Math.max(velocity, (float)-Math.sqrt(stiffness > 0 ? stiffness : SpringInterpolator.STIFFNESS_DEFAULT) * margin);
+
+		Animation[] animc = AnimationFactory.springFlipAnimation(face == toView ? fromView : face, flipDir, stiffness, dampingRatio, position, velocity);
+
+		showNext(viewAnimator, fromView, toView, animc[0], animc[1], layoutStable);
+
+		if (face != fromView && face != toView) {
+			// the current view never showed, so the view still flipping out ahead of it flips out in its place
+			fromView.clearAnimation();
+			face.startAnimation(animc[0]);
+		}
+
+		return animc[1].getStartOffset() + animc[1].getDuration();
+	}
+
+	/**
+	 * The index of the shown subview. Layout-stable flips don't update {@link ViewAnimator#getDisplayedChild()}, so the shown 
+	 * subview is the only visible one.
+	 */
+	private static int displayedChild(ViewAnimator viewAnimator, boolean layoutStable) {
+		if (layoutStable) {
+			for (int i = 0; i < viewAnimator.getChildCount(); i++) {
+				if (viewAnimator.getChildAt(i).getVisibility() == View.VISIBLE) return i;
+			}
+		}
+		return viewAnimator.getDisplayedChild();
+	}
+
+	/**
+	 * Shows {@code toView} in place of {@code fromView} with the given animations ({@code null} for none). Unless {@code layoutStable}
+	 * this is {@link ViewAnimator#showNext()}. Otherwise {@code fromView} is hidden with {@link View#INVISIBLE} rather than 
+	 * {@link View#GONE}, so that no layout pass is triggered; {@link View#GONE} subviews are made {@link View#INVISIBLE} first.
+	 */
+	private static void showNext(ViewAnimator viewAnimator, View fromView, View toView, Animation outAnimation, Animation inAnimation, boolean layoutStable) {
+		if (!layoutStable) {
+			viewAnimator.setOutAnimation(outAnimation);
+			viewAnimator.setInAnimation(inAnimation);
+
+			viewAnimator.showNext();   
+			return;
+		}
+
+		for (int i = 0; i < viewAnimator.getChildCount(); i++) {
+			final View child = viewAnimator.getChildAt(i);
+			if (child.getVisibility() == View.GONE) {
+				child.setVisibility(View.INVISIBLE);
+			}
+		}
+
+		fromView.setVisibility(View.INVISIBLE);
+		toView.setVisibility(View.VISIBLE);
+		startAnimation(fromView, outAnimation);
+		startAnimation(toView, inAnimation);
+	}
+
+	private static void startAnimation(View view, Animation animation) {
+		if (animation == null) {
+			view.clearAnimation();
+		} else {
+			view.startAnimation(animation);
+		}
+	}
+
+	private static FlipAnimation runningFlip(View view) {
+		final Animation animation = view == null ? null : view.getAnimation();
+		return (animation instanceof FlipAnimation && ((FlipAnimation)animation).isRunning()) ? (FlipAnimation)animation : null;
+	}
+
 	//////////////
 
  
@@ -341,13 +680,14 @@ public class AnimationFactory {
 	} 
 
 	/**
-	 * A fade animation that will ensure the View starts and ends with the correct visibility
+	 * A fade animation that will ensure the View starts and ends with the correct visibility. The view is made visible as the fade 
+	 * starts (at alpha 0), so a view that was only {@link View#INVISIBLE} is faded in without triggering a layout pass.
 	 * @param view the View to be faded in
 	 * @param duration the animation duration in milliseconds
 	 * @return a fade animation that will set the visibility of the view at the start and end of animation
 	 */
 	public static Animation fadeInAnimation(long duration, final View view) { 
-		Animation animation = fadeInAnimation(500, 0); 
+		Animation animation = fadeInAnimation(duration, 0); 
 
 	    animation.setAnimationListener(new AnimationListener() { 
 			@Override
@@ -361,7 +701,7 @@ public class AnimationFactory {
 			
 			@Override
 			public void onAnimationStart(Animation animation) {
-				view.setVisibility(View.GONE); 
+				view.setVisibility(View.VISIBLE); 
 			} 
 	    });
 	    
@@ -369,19 +709,32 @@ public class AnimationFactory {
 	}
 
 	/**
-	 * A fade animation that will ensure the View starts and ends with the correct visibility
+	 * A fade animation that will ensure the View starts and ends with the correct visibility. The view ends up {@link View#INVISIBLE}, 
+	 * so its space is kept and no layout pass is triggered.
 	 * @param view the View to be faded out
 	 * @param duration the animation duration in milliseconds
 	 * @return a fade animation that will set the visibility of the view at the start and end of animation
+	 * @see #fadeOutAnimation(long, View, boolean)
 	 */
 	public static Animation fadeOutAnimation(long duration, final View view) {
+		return fadeOutAnimation(duration, view, false);
+	}
+
+	/**
+	 * A fade animation that will ensure the View starts and ends with the correct visibility
+	 * @param view the View to be faded out
+	 * @param duration the animation duration in milliseconds
+	 * @param collapse whether the view ends up {@link View#GONE} (which triggers a layout pass) rather than {@link View#INVISIBLE}
+	 * @return a fade animation that will set the visibility of the view at the start and end of animation
+	 */
+	public static Animation fadeOutAnimation(long duration, final View view, final boolean collapse) {
 		
-		Animation animation = fadeOutAnimation(500, 0); 
+		Animation animation = fadeOutAnimation(duration, 0); 
 
 	    animation.setAnimationListener(new AnimationListener() { 
 			@Override
 			public void onAnimationEnd(Animation animation) {
-				view.setVisibility(View.GONE);
+				view.setVisibility(collapse?View.GONE:View.INVISIBLE);
 			} 
 			
 			@Override
@@ -407,14 +760,66 @@ public class AnimationFactory {
 	public static Animation[] fadeInThenOutAnimation(long duration, long delay) {  
 		return new Animation[] {fadeInAnimation(duration,0), fadeOutAnimation(duration, duration+delay)};
 	}  
+
+	/**
+	 * Creates a single timeline that will fade in, delay, then fade out. This is cheaper per frame than running the pair from {@link #fadeInThenOutAnimation(long, long)} in an {@code AnimationSet}.
+	 * @param duration the duration of each fade in milliseconds
+	 * @param delay how long to wait after fading in the subject and before starting the fade out
+	 * @return a fade in then out animation
+	 */
+	public static TimelineAnimation fadeInThenOutTimeline(long duration, long delay) {
+		return new TimelineAnimation()
+			.addAlpha(0, duration, 0, 1, new DecelerateInterpolator())
+			.addAlpha(duration + delay, duration, 1, 0, new AccelerateInterpolator());
+	}
+
+	/**
+	 * Creates a single timeline that slides a view in from the side the flip starts at while flipping it in (i.e. the second half of a flip transition).
+	 * @param dir the flip direction
+	 * @param duration the animation duration in milliseconds
+	 * @param interpolator the interpolator to use (pass {@code null} to use the {@link AccelerateInterpolator} interpolator)
+	 * @return a slide and flip animation
+	 */
+	public static TimelineAnimation slideFlipInAnimation(FlipDirection dir, long duration, Interpolator interpolator) {
+		float fromX = 0;
+		float fromY = 0;
+
+		switch(dir) {
+		case LEFT_RIGHT:
+			fromX = -1.0f;
+			break;
+		case RIGHT_LEFT:
+			fromX = 1.0f;
+			break;
+		case TOP_BOTTOM:
+			fromY = -1.0f;
+			break;
+		case BOTTOM_TOP:
+			fromY = 1.0f;
+			break;
+		}
+
+		return new TimelineAnimation()
+			.addFlip(0, duration, dir.getStartDegreeForSecondView(), dir.getEndDegreeForSecondView(), dir.getRotationDirection(), FlipAnimation.SCALE_DEFAULT, FlipAnimation.ScaleUpDownEnum.SCALE_UP, interpolator)
+			.addTranslate(0, duration, Animation.RELATIVE_TO_PARENT, fromX, 0.0f, fromY, 0.0f, interpolator);
+	}
 	
 	/**
 	 * Fades the view in. Animation starts right away.
 	 * @param v the view to be faded in
 	 */
 	public static void fadeOut(View v) { 
+		fadeOut(v, false);
+	} 
+
+	/**
+	 * Fades the view out. Animation starts right away.
+	 * @param v the view to be faded out
+	 * @param collapse whether the view ends up {@link View#GONE} (which triggers a layout pass) rather than {@link View#INVISIBLE}
+	 */
+	public static void fadeOut(View v, boolean collapse) { 
 		if (v==null) return;  
-	    v.startAnimation(fadeOutAnimation(500, v)); 
+	    v.startAnimation(fadeOutAnimation(500, v, collapse)); 
 	} 
 	
 	/**
@@ -428,22 +833,31 @@ public class AnimationFactory {
 	}
 	
 	/**
-	 * Fades the view in, delays the specified amount of time, then fades the view out
+	 * Fades the view in, delays the specified amount of time, then fades the view out. The view ends up {@link View#INVISIBLE}, 
+	 * so its space is kept and no layout pass is triggered.
 	 * @param v the view to be faded in then out
 	 * @param delay how long the view will be visible for
+	 * @see #fadeInThenOut(View, long, boolean)
 	 */
 	public static void fadeInThenOut(final View v, long delay) {
+		fadeInThenOut(v, delay, false);
+	}
+
+	/**
+	 * Fades the view in, delays the specified amount of time, then fades the view out
+	 * @param v the view to be faded in then out
+	 * @param delay how long the view will be visible for
+	 * @param collapse whether the view ends up {@link View#GONE} (which triggers a layout pass) rather than {@link View#INVISIBLE}
+	 */
+	public static void fadeInThenOut(final View v, long delay, final boolean collapse) {
 		if (v==null) return;
 		 
 		v.setVisibility(View.VISIBLE);
-		AnimationSet animation = new AnimationSet(true);
-		Animation[] fadeInOut = fadeInThenOutAnimation(500,delay); 
-	    animation.addAnimation(fadeInOut[0]);
-	    animation.addAnimation(fadeInOut[1]);
+		Animation animation = fadeInThenOutTimeline(500,delay); 
 	    animation.setAnimationListener(new AnimationListener() { 
 			@Override
 			public void onAnimationEnd(Animation animation) {
-				v.setVisibility(View.GONE);
+				v.setVisibility(collapse?View.GONE:View.INVISIBLE);
 			} 
 			@Override
 			public void onAnimationRepeat(Animation animation) { 
@@ -22,6 +22,8 @@
 package com.tekle.oss.android.animation;
 
 import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Interpolator;
 import android.graphics.Camera;
 import android.graphics.Matrix; 
 import android.view.animation.Transformation;
@@ -54,6 +56,18 @@ public class FlipAnimation extends Animation {
 	
 	private float scale;
 
+	/**
+	 * A flip that hasn't drawn a frame for this long (in milliseconds) was cancelled or replaced.
+	 */
+	private static final long FRAME_TIMEOUT = 100;
+
+	// the last frame drawn, used to report where (and how fast) an interrupted flip was
+	private float mDegrees;
+	private float mPreviousDegrees;
+	private long mFrameTime = -1;
+	private long mPreviousFrameTime = -1;
+	private float mNormalizedTime;
+
 	/**
 	 * Constructs a new {@code FlipAnimation} object.Two {@code FlipAnimation} objects are needed for a complete transition b/n two views. 
 	 * 
@@ -80,20 +94,41 @@ public class FlipAnimation extends Animation {
 		mCamera = new Camera();
 	}
 
+	@Override
+	public void reset() {
+		super.reset();
+		mFrameTime = mPreviousFrameTime = -1;
+	}
+
+	@Override
+	public boolean getTransformation(long currentTime, Transformation outTransformation) {
+		final long duration = getDuration();
+		final long startTime = (getStartTime() == START_ON_FIRST_FRAME ? currentTime : getStartTime()) + getStartOffset();
+
+		mNormalizedTime = duration != 0 ? ((float)(currentTime - startTime)) / duration : (currentTime < startTime ? 0 : 1);
+		mPreviousDegrees = mDegrees;
+		mPreviousFrameTime = mFrameTime;
+		mFrameTime = currentTime;
+
+		return super.getTransformation(currentTime, outTransformation);
+	}
+
 	@Override
 	protected void applyTransformation(float interpolatedTime, Transformation t) {
 		final float fromDegrees = mFromDegrees;
 		float degrees = fromDegrees + ((mToDegrees - fromDegrees) * interpolatedTime);
+		mDegrees = degrees;
 
-		final float centerX = mCenterX;
-		final float centerY = mCenterY;
-		final Camera camera = mCamera;
-
-		final Matrix matrix = t.getMatrix();
+		applyFlip(mCamera, t.getMatrix(), mDirection, degrees, scaleType.getScale(scale, interpolatedTime), mCenterX, mCenterY);
+	}
 
+	/**
+	 * Sets {@code matrix} to a 3D rotation of {@code degrees} around the center, zoomed to {@code zoom}. Shared with {@link TimelineAnimation}.
+	 */
+	static void applyFlip(Camera camera, Matrix matrix, int direction, float degrees, float zoom, float centerX, float centerY) {
 		camera.save();
 
-        if (mDirection == ROTATION_X)
+        if (direction == ROTATION_X)
             camera.rotateX(degrees);
         else
             camera.rotateY(degrees);
@@ -104,8 +139,7 @@ public class FlipAnimation extends Animation {
 		matrix.preTranslate(-centerX, -centerY);
 		matrix.postTranslate(centerX, centerY); 
 		
-		matrix.preScale(scaleType.getScale(scale, interpolatedTime), scaleType.getScale(scale, interpolatedTime), centerX, centerY);
-
+		matrix.preScale(zoom, zoom, centerX, centerY);
 	}
 
     /**
@@ -116,6 +150,50 @@ public class FlipAnimation extends Animation {
         mDirection = direction;
     }
 
+	/**
+	 * The rotation, in degrees, of the last frame drawn. Together with {@link #getAngularVelocity()} this lets an interrupted flip hand over to the next one.
+	 * 
+	 * @return the current rotation in degrees
+	 */
+	public float getCurrentDegrees() {
+		return mDegrees;
+	}
+
+	/**
+	 * Whether this flip is still being drawn, i.e. it has drawn a recent frame and hasn't reached its end. A flip waiting out its start offset counts as running.
+	 * 
+	 * @return {@code true} if the flip is running
+	 */
+	public boolean isRunning() {
+		return mFrameTime >= 0 && mNormalizedTime < 1 && AnimationUtils.currentAnimationTimeMillis() - mFrameTime <= FRAME_TIMEOUT;
+	}
+
+	/**
+	 * Whether the last frame drawn was still within the start offset, i.e. the view is waiting edge-on for the view flipping out ahead of it.
+	 */
+	boolean isWaiting() {
+		return mNormalizedTime < 0;
+	}
+
+	/**
+	 * The angular velocity of the last frame drawn. If the interpolator is a {@link SpringInterpolator} the velocity is exact, 
+	 * otherwise it's estimated from the last two frames. 
+	 * 
+	 * @return the angular velocity in degrees per second (0 if the flip isn't currently running, see {@link #isRunning()})
+	 */
+	public float getAngularVelocity() {
+		if (!isRunning() || mNormalizedTime < 0) return 0;
+
+		final Interpolator interpolator = getInterpolator();
+		if (interpolator instanceof SpringInterpolator) {
+			return ((SpringInterpolator)interpolator).getVelocity(mNormalizedTime) * (mToDegrees - mFromDegrees);
+		}
+
+		if (mPreviousFrameTime < 0 || mFrameTime <= mPreviousFrameTime) return 0;
+
+		return (mDegrees - mPreviousDegrees) * 1000 / (mFrameTime - mPreviousFrameTime);
+	}
+
 	/**
 	 * This enumeration is used to determine the zoom (or scale) behavior of a {@link FlipAnimation}.
 	 * 
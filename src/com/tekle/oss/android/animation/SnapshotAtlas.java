@@ -0,0 +1,507 @@
+/**
+ * Copyright (c) 2012 Ephraim Tekle genzeb@gmail.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ *  @author Ephraim A. Tekle
+ *
+ */
+package com.tekle.oss.android.animation;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Transformation;
+import android.widget.ViewAnimator;
+
+/**
+ * An opt-in cache of downscaled snapshots of a {@link ViewAnimator}'s children, packed as equally sized cells (downscaled from 
+ * the {@code ViewAnimator}'s size) into a single shared bitmap (the atlas). Rapid flipping then draws faces as sub-rectangles of the atlas instead of allocating and
+ * uploading a bitmap per child and per transition. When the atlas is full the least recently shown child is evicted.
+ *
+ * Snapshots are only redrawn when missing or marked dirty with {@link #markDirty(View)}, and only the cell of that child is redrawn.
+ *
+ * NOTE: use {@link AnimationFactory#flipTransition(ViewAnimator, AnimationFactory.FlipDirection, long, SnapshotAtlas)} to flip with
+ * the atlas. The flip is drawn from the snapshots by the {@code ViewAnimator}'s foreground, which the atlas installs on the first 
+ * flip; a {@code ViewAnimator} that already has a foreground flips its live views instead.
+ *
+ * NOTE: the atlas holds on to the children it has snapshotted (and through them, their {@code Context}). Call {@link #release()} 
+ * once the {@code ViewAnimator} goes away, e.g. in {@code Activity.onDestroy()}, and don't keep the atlas past the activity's lifetime.
+ *
+ * @author Ephraim A. Tekle
+ *
+ */
+public class SnapshotAtlas {
+
+	/**
+	 * The default snapshot size, as a fraction of the child's size.
+	 */
+	public static final float DOWNSCALE_DEFAULT = 0.5f;
+
+	/**
+	 * The atlas never exceeds this width or height, which is within the maximum texture size of any GPU.
+	 */
+	private static final int MAX_ATLAS_DIMENSION = 2048;
+
+	private final int mMaxBytes;
+	private final float mDownscale;
+
+	private Bitmap mAtlas;
+	private Canvas mCanvas;
+	private int mCellWidth;
+	private int mCellHeight;
+	private int mColumns;
+	private int mCapacity;
+	private int mCellsUsed;
+
+	// in least recently shown order; mLookup finds a cell without counting as shown
+	private final LinkedHashMap<View, Cell> mCells = new LinkedHashMap<View, Cell>(16, 0.75f, true);
+	private final HashMap<View, Cell> mLookup = new HashMap<View, Cell>();
+
+	private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+	private final Rect mSrc = new Rect();
+
+	private static final class Cell {
+		final int index;
+		boolean dirty;
+
+		Cell(int index) {
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Constructs a {@code SnapshotAtlas} that downscales snapshots by {@link #DOWNSCALE_DEFAULT}.
+	 *
+	 * @param maxBytes the most memory the atlas bitmap may use
+	 */
+	public SnapshotAtlas(int maxBytes) {
+		this(maxBytes, DOWNSCALE_DEFAULT);
+	}
+
+	/**
+	 * Constructs a {@code SnapshotAtlas}.
+	 *
+	 * @param maxBytes the most memory the atlas bitmap may use
+	 * @param downscale the snapshot size as a fraction of the child's size. This value must be b/n (0,1] or else the default {@link #DOWNSCALE_DEFAULT} is used.
+	 */
+	public SnapshotAtlas(int maxBytes, float downscale) {
+		mMaxBytes = maxBytes;
+		mDownscale = (downscale<=0||downscale>1)?DOWNSCALE_DEFAULT:downscale;
+	}
+
+	/**
+	 * Marks the snapshot of {@code child} as stale, e.g. after its content changed. It's redrawn the next time it's needed.
+	 *
+	 * @param child the child whose content changed
+	 */
+	public void markDirty(View child) {
+		final Cell cell = mLookup.get(child);
+		if (cell != null) {
+			cell.dirty = true;
+		}
+	}
+
+	/**
+	 * Makes sure the snapshot of {@code child} is in the atlas and up to date, and counts it as shown. A child that was never laid 
+	 * out (e.g. a {@code ViewAnimator} child that was never shown, and so is {@link View#GONE}) is first measured and laid out at 
+	 * its parent's size.
+	 *
+	 * @param child the child to snapshot
+	 * @return {@code false} if no snapshot is available, i.e. neither the child nor its parent is laid out yet or it doesn't fit within the memory cap
+	 */
+	public boolean refresh(View child) {
+		return refresh(child, true);
+	}
+
+	/**
+	 * @param resize whether the atlas may be rebuilt if the {@code ViewAnimator} changed size. It never is while drawing a flip.
+	 */
+	private boolean refresh(View child, boolean resize) {
+		if (child == null || !ensureLaidOut(child) || !ensureAtlas(child, resize)) return false;
+
+		Cell cell = mCells.get(child);
+		if (cell == null) {
+			cell = new Cell(mCellsUsed < mCapacity ? mCellsUsed++ : evict());
+			mCells.put(child, cell);
+			mLookup.put(child, cell);
+			cell.dirty = true;
+		}
+
+		if (cell.dirty) {
+			capture(child, cell);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Refreshes the snapshots of the {@code ViewAnimator}'s previous, current and next children, so that either flip direction has its content ready.
+	 *
+	 * @param viewAnimator the {@code ViewAnimator}
+	 */
+	public void prefetch(ViewAnimator viewAnimator) {
+		prefetch(viewAnimator, viewAnimator.getDisplayedChild());
+	}
+
+	private void prefetch(ViewAnimator viewAnimator, int current) {
+		final int count = viewAnimator.getChildCount();
+		if (count == 0 || current < 0) return;
+
+		refresh(viewAnimator.getChildAt((current + count - 1) % count));
+		refresh(viewAnimator.getChildAt(current));
+		refresh(viewAnimator.getChildAt((current + 1) % count));
+	}
+
+	/**
+	 * Draws the snapshot of {@code child}, scaled to {@code dst}.
+	 *
+	 * @param canvas the canvas to draw on
+	 * @param child the child whose snapshot to draw
+	 * @param dst where to draw the snapshot
+	 * @return {@code false} if nothing was drawn (see {@link #refresh(View)})
+	 */
+	public boolean drawFace(Canvas canvas, View child, Rect dst) {
+		return drawFace(canvas, child, dst, mPaint);
+	}
+
+	/**
+	 * Draws the snapshot of {@code child}, scaled to {@code dst}.
+	 *
+	 * @param canvas the canvas to draw on
+	 * @param child the child whose snapshot to draw
+	 * @param dst where to draw the snapshot
+	 * @param paint the paint to draw with (e.g. for alpha)
+	 * @return {@code false} if nothing was drawn (see {@link #refresh(View)})
+	 */
+	public boolean drawFace(Canvas canvas, View child, Rect dst, Paint paint) {
+		if (!refresh(child, false)) return false;
+
+		getFaceBounds(mLookup.get(child), mSrc);
+		canvas.drawBitmap(mAtlas, mSrc, dst, paint);
+		return true;
+	}
+
+	/**
+	 * Creates a {@link Drawable} that draws the snapshot of {@code child}, e.g. as the face of a view being flipped with {@link FlipAnimation}.
+	 *
+	 * @param child the child whose snapshot to draw
+	 * @return the face drawable
+	 */
+	public Drawable getFace(View child) {
+		return new FaceDrawable(this, child);
+	}
+
+	/**
+	 * Releases the atlas bitmap and forgets all snapshots, along with the children they were taken of. The atlas is rebuilt as 
+	 * children are refreshed again.
+	 */
+	public void release() {
+		if (mAtlas != null) {
+			mAtlas.recycle();
+		}
+		mAtlas = null;
+		mCanvas = null;
+		mCapacity = 0;
+		mCellsUsed = 0;
+		mCells.clear();
+		mLookup.clear();
+	}
+
+	/**
+	 * Ends a flip of {@code viewAnimator} that is still being drawn from the atlas, handing its views back (see 
+	 * {@link #startFlip(ViewAnimator, View, Animation, View, Animation)}).
+	 */
+	void endFlip(ViewAnimator viewAnimator) {
+		final FlipDrawable flip = getFlipDrawable(viewAnimator);
+		if (flip != null) {
+			flip.end();
+		}
+	}
+
+	/**
+	 * Makes sure a flip from {@code fromView} to {@code toView} can be drawn from the atlas: both snapshots must be available at 
+	 * once, and the {@code ViewAnimator}'s foreground must be free for drawing them.
+	 *
+	 * @return {@code false} if the flip must be drawn from the live views
+	 */
+	boolean prepareFlip(ViewAnimator viewAnimator, View fromView, View toView) {
+		if (viewAnimator.getForeground() != null && getFlipDrawable(viewAnimator) == null) return false;
+
+		// both faces must fit at once, or every frame would evict and redraw one for the other
+		return refresh(fromView) && mCapacity >= 2 && refresh(toView);
+	}
+
+	/**
+	 * Draws the flip from {@code fromView} to {@code toView} from their snapshots rather than from the live views. Call it once the 
+	 * {@code ViewAnimator} shows {@code toView}: it stays {@link View#INVISIBLE} until the flip ends, after which the neighbors of 
+	 * {@code toView} are refreshed.
+	 */
+	void startFlip(ViewAnimator viewAnimator, View fromView, Animation outAnimation, View toView, Animation inAnimation) {
+		FlipDrawable flip = getFlipDrawable(viewAnimator);
+		if (flip == null) {
+			flip = new FlipDrawable(this, viewAnimator);
+			viewAnimator.setForeground(flip);
+		}
+
+		outAnimation.initialize(fromView.getWidth(), fromView.getHeight(), viewAnimator.getWidth(), viewAnimator.getHeight());
+		inAnimation.initialize(toView.getWidth(), toView.getHeight(), viewAnimator.getWidth(), viewAnimator.getHeight());
+
+		flip.start(fromView, outAnimation, toView, inAnimation);
+	}
+
+	private FlipDrawable getFlipDrawable(ViewAnimator viewAnimator) {
+		final Drawable foreground = viewAnimator.getForeground();
+		return (foreground instanceof FlipDrawable && ((FlipDrawable)foreground).mAtlas == this) ? (FlipDrawable)foreground : null;
+	}
+
+	private static boolean ensureLaidOut(View child) {
+		if (child.getWidth() > 0 && child.getHeight() > 0) return true;
+		if (!(child.getParent() instanceof View)) return false;
+
+		final View parent = (View)child.getParent();
+		final int width = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+		final int height = parent.getHeight() - parent.getPaddingTop() - parent.getPaddingBottom();
+		if (width <= 0 || height <= 0) return false;
+
+		child.measure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY), MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+		child.layout(parent.getPaddingLeft(), parent.getPaddingTop(), parent.getPaddingLeft() + width, parent.getPaddingTop() + height);
+
+		return child.getWidth() > 0 && child.getHeight() > 0;
+	}
+
+	private boolean ensureAtlas(View child, boolean resize) {
+		// the cells are sized after the ViewAnimator rather than each child, so children of different sizes share one atlas (each 
+		// snapshot is scaled into its cell)
+		final View container = child.getParent() instanceof View ? (View)child.getParent() : child;
+		final int width = container == child ? child.getWidth() : container.getWidth() - container.getPaddingLeft() - container.getPaddingRight();
+		final int height = container == child ? child.getHeight() : container.getHeight() - container.getPaddingTop() - container.getPaddingBottom();
+		if (width <= 0 || height <= 0) return false;
+
+		final int cellWidth = Math.max(1, Math.round(width * mDownscale));
+		final int cellHeight = Math.max(1, Math.round(height * mDownscale));
+
+		if (mAtlas != null && (!resize || (cellWidth == mCellWidth && cellHeight == mCellHeight))) return true;
+
+		// the ViewAnimator changed size, so every snapshot is stale anyways
+		release();
+
+		final int maxColumns = MAX_ATLAS_DIMENSION / cellWidth;
+		final int maxRows = MAX_ATLAS_DIMENSION / cellHeight;
+		final int cells = mMaxBytes / (cellWidth * cellHeight * 4);
+		if (maxColumns == 0 || maxRows == 0 || cells == 0) return false;
+
+		mCellWidth = cellWidth;
+		mCellHeight = cellHeight;
+		mColumns = Math.min(maxColumns, cells);
+		mCapacity = mColumns * Math.min(maxRows, cells / mColumns);
+
+		mAtlas = Bitmap.createBitmap(mColumns * cellWidth, (mCapacity / mColumns) * cellHeight, Bitmap.Config.ARGB_8888);
+		mCanvas = new Canvas(mAtlas);
+
+		return true;
+	}
+
+	private int evict() {
+		final Iterator<Map.Entry<View, Cell>> eldest = mCells.entrySet().iterator();
+		final Map.Entry<View, Cell> entry = eldest.next();
+		eldest.remove();
+		mLookup.remove(entry.getKey());
+
+		return entry.getValue().index;
+	}
+
+	private void capture(View child, Cell cell) {
+		final Canvas canvas = mCanvas;
+		final int left = (cell.index % mColumns) * mCellWidth;
+		final int top = (cell.index / mColumns) * mCellHeight;
+
+		canvas.save();
+		canvas.clipRect(left, top, left + mCellWidth, top + mCellHeight);
+		canvas.drawColor(0, PorterDuff.Mode.CLEAR);
+		canvas.translate(left, top);
+		canvas.scale(mCellWidth / (float)child.getWidth(), mCellHeight / (float)child.getHeight());
+		canvas.translate(-child.getScrollX(), -child.getScrollY());
+		child.draw(canvas);
+		canvas.restore();
+
+		cell.dirty = false;
+	}
+
+	private void getFaceBounds(Cell cell, Rect outBounds) {
+		final int left = (cell.index % mColumns) * mCellWidth;
+		final int top = (cell.index / mColumns) * mCellHeight;
+		outBounds.set(left, top, left + mCellWidth, top + mCellHeight);
+	}
+
+	/**
+	 * Draws a flip between two children's snapshots on top of the {@code ViewAnimator}, in place of the children themselves.
+	 */
+	private static final class FlipDrawable extends Drawable {
+		final SnapshotAtlas mAtlas;
+		private final ViewAnimator mViewAnimator;
+		private final Transformation mTransformation = new Transformation();
+		private final Rect mDst = new Rect();
+
+		private View mFromView;
+		private View mToView;
+		private Animation mOutAnimation;
+		private Animation mInAnimation;
+
+		private final Runnable mFinish = new Runnable() {
+			public void run() {
+				// layout-stable flips don't update the displayed child, so prefetch around the view just shown
+				final View shown = mToView;
+				end();
+				mAtlas.prefetch(mViewAnimator, mViewAnimator.indexOfChild(shown));
+			}
+		};
+
+		FlipDrawable(SnapshotAtlas atlas, ViewAnimator viewAnimator) {
+			mAtlas = atlas;
+			mViewAnimator = viewAnimator;
+		}
+
+		void start(View fromView, Animation outAnimation, View toView, Animation inAnimation) {
+			mFromView = fromView;
+			mToView = toView;
+			mOutAnimation = outAnimation;
+			mInAnimation = inAnimation;
+
+			// the "to" view is drawn from its snapshot until the flip ends
+			toView.setVisibility(View.INVISIBLE);
+			invalidateSelf();
+		}
+
+		void end() {
+			mViewAnimator.removeCallbacks(mFinish);
+			if (mToView != null) {
+				mToView.setVisibility(View.VISIBLE);
+			}
+			mFromView = mToView = null;
+			mOutAnimation = mInAnimation = null;
+		}
+
+		@Override
+		public void draw(Canvas canvas) {
+			if (mFromView == null) return;
+
+			final long now = AnimationUtils.currentAnimationTimeMillis();
+			final boolean more = drawFace(canvas, mFromView, mOutAnimation, now, false) | drawFace(canvas, mToView, mInAnimation, now, true);
+
+			if (more) {
+				invalidateSelf();
+			} else {
+				// the last frame shows the "to" snapshot face on; the live view takes over from the next frame
+				mViewAnimator.post(mFinish);
+			}
+		}
+
+		/**
+		 * Draws one face as transformed by {@code animation}. The flips don't fill after they end, so once its animation has ended 
+		 * a face is either skipped (the "from" view, edge-on) or drawn untransformed (the "to" view, face on) if {@code showAfterEnd}.
+		 */
+		private boolean drawFace(Canvas canvas, View child, Animation animation, long now, boolean showAfterEnd) {
+			final Transformation t = mTransformation;
+			t.clear();
+			if (animation.hasEnded() && !showAfterEnd) return false;
+
+			final boolean more = !animation.hasEnded() && animation.getTransformation(now, t);
+
+			canvas.save();
+			canvas.translate(child.getLeft(), child.getTop());
+			canvas.concat(t.getMatrix());
+			mDst.set(0, 0, child.getWidth(), child.getHeight());
+			mAtlas.drawFace(canvas, child, mDst);
+			canvas.restore();
+
+			return more;
+		}
+
+		@Override
+		public void setAlpha(int alpha) {
+		}
+
+		@Override
+		public void setColorFilter(ColorFilter cf) {
+		}
+
+		@Override
+		public int getOpacity() {
+			return PixelFormat.TRANSLUCENT;
+		}
+	}
+
+	/**
+	 * Draws a child's snapshot from the atlas into its bounds.
+	 */
+	private static final class FaceDrawable extends Drawable {
+		private final SnapshotAtlas mAtlas;
+		private final View mChild;
+		private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+		FaceDrawable(SnapshotAtlas atlas, View child) {
+			mAtlas = atlas;
+			mChild = child;
+		}
+
+		@Override
+		public void draw(Canvas canvas) {
+			mAtlas.drawFace(canvas, mChild, getBounds(), mPaint);
+		}
+
+		@Override
+		public void setAlpha(int alpha) {
+			mPaint.setAlpha(alpha);
+			invalidateSelf();
+		}
+
+		@Override
+		public void setColorFilter(ColorFilter cf) {
+			mPaint.setColorFilter(cf);
+			invalidateSelf();
+		}
+
+		@Override
+		public int getOpacity() {
+			return PixelFormat.TRANSLUCENT;
+		}
+
+		@Override
+		public int getIntrinsicWidth() {
+			return mChild.getWidth();
+		}
+
+		@Override
+		public int getIntrinsicHeight() {
+			return mChild.getHeight();
+		}
+	}
+}
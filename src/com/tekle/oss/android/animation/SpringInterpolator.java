@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2012 Ephraim Tekle genzeb@gmail.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ *  @author Ephraim A. Tekle
+ *
+ */
+package com.tekle.oss.android.animation;
+
+import android.view.animation.Interpolator;
+
+/**
+ * An {@link Interpolator} that follows a damped spring (unit mass) from 0 to 1. The position is evaluated in closed form
+ * from the elapsed time, so every frame is deterministic and nothing is integrated or allocated. The input of
+ * {@link #getInterpolation(float)} spans the spring's settle time, so set the animation's duration to
+ * {@link #getSettleDuration()}.
+ *
+ * NOTE: use {@link AnimationFactory#springFlipTransition} to flip with a spring.
+ *
+ * @author Ephraim A. Tekle
+ *
+ */
+public class SpringInterpolator implements Interpolator {
+
+	/**
+	 * The default spring stiffness. Together with {@link #DAMPING_RATIO_DEFAULT}, a flip transition settles in about 0.7 seconds.
+	 */
+	public static final float STIFFNESS_DEFAULT = 200f;
+
+	/**
+	 * The default damping ratio: slightly under-damped, i.e. a small overshoot.
+	 */
+	public static final float DAMPING_RATIO_DEFAULT = 0.75f;
+
+	/**
+	 * The spring is considered settled once it stays within this fraction of the travel from its target.
+	 */
+	private static final double SETTLE_THRESHOLD = 0.001;
+
+	private static final int UNDER_DAMPED = 0;
+	private static final int CRITICALLY_DAMPED = 1;
+	private static final int OVER_DAMPED = 2;
+
+	private final int mDamping;
+	private final double mNaturalFrequency;
+	private final double mDampingRatio;
+
+	// displacement from the target, x(t), is:
+	//   under-damped:      e^(-zeta*w*t) * (A*cos(wd*t) + B*sin(wd*t))
+	//   critically damped: (A + B*t) * e^(-w*t)
+	//   over-damped:       A*e^(r1*t) + B*e^(r2*t)
+	private final double mA;
+	private final double mB;
+	private final double mR1;
+	private final double mR2;
+	private final double mDampedFrequency;
+
+	private final double mSettleTime;
+
+	// the part of the spring this interpolator spans (see segment), in seconds and in progress of the whole spring
+	private final double mSegmentStart;
+	private final double mSegmentDuration;
+	private final double mOutputStart;
+	private final double mOutputScale;
+
+	/**
+	 * Constructs a {@code SpringInterpolator} that starts at rest.
+	 *
+	 * @param stiffness the spring stiffness. This value must be positive or else the default {@link #STIFFNESS_DEFAULT} is used.
+	 * @param dampingRatio the damping ratio (1 is critically damped, less overshoots). This value must be positive or else the default {@link #DAMPING_RATIO_DEFAULT} is used.
+	 */
+	public SpringInterpolator(float stiffness, float dampingRatio) {
+		this(stiffness, dampingRatio, 0);
+	}
+
+	/**
+	 * Constructs a {@code SpringInterpolator}.
+	 *
+	 * @param stiffness the spring stiffness. This value must be positive or else the default {@link #STIFFNESS_DEFAULT} is used.
+	 * @param dampingRatio the damping ratio (1 is critically damped, less overshoots). This value must be positive or else the default {@link #DAMPING_RATIO_DEFAULT} is used.
+	 * @param initialVelocity the starting velocity in fractions of the travel per second (e.g. carried over from an interrupted animation)
+	 */
+	public SpringInterpolator(float stiffness, float dampingRatio, float initialVelocity) {
+		final double w = Math.sqrt(stiffness<=0?STIFFNESS_DEFAULT:stiffness);
+		final double zeta = dampingRatio<=0?DAMPING_RATIO_DEFAULT:dampingRatio;
+		// the spring starts a full travel away from its target, moving towards it at initialVelocity
+		final double x0 = 1;
+		final double v0 = -initialVelocity;
+		double settleTime;
+
+		mNaturalFrequency = w;
+		mDampingRatio = zeta;
+
+		if (zeta < 1) {
+			mDamping = UNDER_DAMPED;
+			mDampedFrequency = w * Math.sqrt(1 - zeta*zeta);
+			mA = x0;
+			mB = (v0 + zeta*w*x0) / mDampedFrequency;
+			mR1 = mR2 = 0;
+			settleTime = Math.log(Math.sqrt(mA*mA + mB*mB) / SETTLE_THRESHOLD) / (zeta*w);
+		} else if (zeta == 1) {
+			mDamping = CRITICALLY_DAMPED;
+			mDampedFrequency = 0;
+			mA = x0;
+			mB = v0 + w*x0;
+			mR1 = mR2 = 0;
+			// solve (|A| + |B|*t) * e^(-w*t) = threshold by fixed-point iteration (converges in a few steps)
+			settleTime = Math.log(Math.abs(mA) / SETTLE_THRESHOLD) / w;
+			for (int i = 0; i < 8; i++) {
+				settleTime = Math.log((Math.abs(mA) + Math.abs(mB)*settleTime) / SETTLE_THRESHOLD) / w;
+			}
+		} else {
+			mDamping = OVER_DAMPED;
+			mDampedFrequency = 0;
+			final double s = Math.sqrt(zeta*zeta - 1);
+			mR1 = -w * (zeta - s);
+			mR2 = -w * (zeta + s);
+			mB = (v0 - mR1*x0) / (mR2 - mR1);
+			mA = x0 - mB;
+			// r1 is the slower of the two decays
+			settleTime = Math.log((Math.abs(mA) + Math.abs(mB)) / SETTLE_THRESHOLD) / -mR1;
+		}
+
+		mSettleTime = (settleTime > 0 && !Double.isNaN(settleTime))?settleTime:0;
+		mSegmentStart = 0;
+		mSegmentDuration = mSettleTime;
+		mOutputStart = 0;
+		mOutputScale = 1;
+	}
+
+	private SpringInterpolator(SpringInterpolator spring, double segmentStart, double segmentDuration) {
+		mDamping = spring.mDamping;
+		mNaturalFrequency = spring.mNaturalFrequency;
+		mDampingRatio = spring.mDampingRatio;
+		mA = spring.mA;
+		mB = spring.mB;
+		mR1 = spring.mR1;
+		mR2 = spring.mR2;
+		mDampedFrequency = spring.mDampedFrequency;
+		mSettleTime = spring.mSettleTime;
+
+		mSegmentStart = segmentStart;
+		mSegmentDuration = segmentDuration;
+
+		final double segmentEnd = segmentStart + segmentDuration;
+		mOutputStart = 1 - displacement(segmentStart);
+		final double outputRange = (segmentEnd >= mSettleTime ? 1 : 1 - displacement(segmentEnd)) - mOutputStart;
+		mOutputScale = outputRange != 0 ? 1 / outputRange : 0;
+	}
+
+	/**
+	 * Creates an interpolator for part of this spring, e.g. one half of a flip transition driven by a single spring. The segment's
+	 * input spans {@code startInput..endInput} of this interpolator and its output is rescaled so that it goes from 0 to 1 over that
+	 * part, so consecutive segments continue each other's position and velocity.
+	 *
+	 * @param startInput where the segment starts (from 0..1, in terms of this interpolator's input)
+	 * @param endInput where the segment ends (from 0..1, in terms of this interpolator's input)
+	 * @return the segment
+	 */
+	public SpringInterpolator segment(float startInput, float endInput) {
+		final float start = Math.max(0, Math.min(startInput, 1));
+		final float end = Math.max(start, Math.min(endInput, 1));
+
+		return new SpringInterpolator(this, mSegmentStart + start * mSegmentDuration, (end - start) * mSegmentDuration);
+	}
+
+	/**
+	 * Finds when the spring first reaches {@code progress}, e.g. when a flip passes edge-on.
+	 *
+	 * @param progress the output to look for
+	 * @return the first input (from 0..1) at which {@link #getInterpolation(float)} reaches {@code progress}
+	 */
+	public float findInput(float progress) {
+		if (getInterpolation(0) >= progress) return 0;
+
+		// step forward to bracket the first crossing (the spring may oscillate), then bisect it
+		final int steps = 256;
+		float low = 0;
+		float high = 1;
+		for (int i = 1; i <= steps; i++) {
+			final float input = (float)i / steps;
+			if (getInterpolation(input) >= progress) {
+				low = (float)(i - 1) / steps;
+				high = input;
+				break;
+			}
+		}
+
+		for (int i = 0; i < 24; i++) {
+			final float input = (low + high) / 2;
+			if (getInterpolation(input) >= progress) {
+				high = input;
+			} else {
+				low = input;
+			}
+		}
+
+		return high;
+	}
+
+	/**
+	 * The time it takes this spring to settle at its target. Use it as the animation duration and to schedule follow-up work.
+	 *
+	 * @return the settle time in milliseconds
+	 */
+	public long getSettleDuration() {
+		return Math.round(mSegmentDuration * 1000);
+	}
+
+	@Override
+	public float getInterpolation(float input) {
+		if (input >= 1) return 1;
+
+		return (float)((1 - displacement(mSegmentStart + input * mSegmentDuration) - mOutputStart) * mOutputScale);
+	}
+
+	/**
+	 * The velocity of the spring at the given point of the animation.
+	 *
+	 * @param input the animation's elapsed time (from 0..1), i.e. the same value given to {@link #getInterpolation(float)}
+	 * @return the velocity in fractions of the travel per second (0 once the spring has settled)
+	 */
+	public float getVelocity(float input) {
+		final double t = mSegmentStart + Math.max(0, Math.min(input, 1)) * mSegmentDuration;
+		if (t >= mSettleTime) return 0;
+
+		return (float)(-velocity(t) * mOutputScale);
+	}
+
+	private double displacement(double t) {
+		switch(mDamping) {
+		case UNDER_DAMPED: {
+			final double wdt = mDampedFrequency * t;
+			return Math.exp(-mDampingRatio*mNaturalFrequency*t) * (mA*Math.cos(wdt) + mB*Math.sin(wdt));
+		}
+
+		case CRITICALLY_DAMPED:
+			return (mA + mB*t) * Math.exp(-mNaturalFrequency*t);
+
+		default:
+			return mA*Math.exp(mR1*t) + mB*Math.exp(mR2*t);
+		}
+	}
+
+	private double velocity(double t) {
+		switch(mDamping) {
+		case UNDER_DAMPED: {
+			final double decay = mDampingRatio*mNaturalFrequency;
+			final double wdt = mDampedFrequency * t;
+			return Math.exp(-decay*t) * ((mB*mDampedFrequency - decay*mA)*Math.cos(wdt) - (mA*mDampedFrequency + decay*mB)*Math.sin(wdt));
+		}
+
+		case CRITICALLY_DAMPED:
+			return (mB - mNaturalFrequency*(mA + mB*t)) * Math.exp(-mNaturalFrequency*t);
+
+		default:
+			return mA*mR1*Math.exp(mR1*t) + mB*mR2*Math.exp(mR2*t);
+		}
+	}
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2012 Ephraim Tekle genzeb@gmail.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ *  @author Ephraim A. Tekle
+ *
+ */
+package com.tekle.oss.android.animation;
+
+import java.util.ArrayList;
+
+import android.graphics.Camera;
+import android.graphics.Matrix;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.Animation;
+import android.view.animation.AnimationSet;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+import android.view.animation.Transformation;
+
+/**
+ * This class extends Animation to lay out flip, alpha, translate and scale tracks on a single timeline. Unlike an
+ * {@link AnimationSet}, there are no child animations: every frame evaluates each track in place and writes one combined
+ * matrix and alpha, without allocating any intermediate {@link Transformation}.
+ *
+ * Each track has its own start time, duration and interpolator. Before its start a track holds its start value, and after
+ * its end it holds its end value. As with an {@code AnimationSet}, tracks added first are applied to the view first. The
+ * duration of the timeline is the end of its last track.
+ *
+ * NOTE: use {@link AnimationFactory} for the most common timelines.
+ *
+ * @author Ephraim A. Tekle
+ *
+ */
+public class TimelineAnimation extends Animation {
+
+	private final ArrayList<Track> mTracks = new ArrayList<Track>();
+
+	private Camera mCamera;
+	private final Matrix mTrackMatrix = new Matrix();
+
+	/**
+	 * Constructs an empty {@code TimelineAnimation}. Add tracks before starting it.
+	 */
+	public TimelineAnimation() {
+		// the tracks interpolate themselves, so the timeline itself must run in real time
+		setInterpolator(new LinearInterpolator());
+	}
+
+	/**
+	 * Adds a {@link FlipAnimation} style 3D rotation around the center of the view.
+	 *
+	 * @param start when the track starts, in milliseconds from the start of the timeline
+	 * @param duration the track duration in milliseconds
+	 * @param fromDegrees the start angle in degrees
+	 * @param toDegrees the end angle in degrees
+	 * @param direction {@link FlipAnimation#ROTATION_X} or {@link FlipAnimation#ROTATION_Y}
+	 * @param scale the zoom level used by {@code scaleType}. This value must be b/n (0,1) or else the default scale {@link FlipAnimation#SCALE_DEFAULT} is used.
+	 * @param scaleType the zoom behavior, see {@link FlipAnimation.ScaleUpDownEnum}
+	 * @param interpolator the interpolator to use (pass {@code null} to use the {@link AccelerateInterpolator} interpolator)
+	 * @return this timeline
+	 */
+	public TimelineAnimation addFlip(long start, long duration, float fromDegrees, float toDegrees, int direction, float scale, FlipAnimation.ScaleUpDownEnum scaleType, Interpolator interpolator) {
+		return addTrack(new FlipTrack(start, duration, interpolator, fromDegrees, toDegrees, direction,
+				(scale<=0||scale>=1)?FlipAnimation.SCALE_DEFAULT:scale, scaleType==null?FlipAnimation.ScaleUpDownEnum.SCALE_CYCLE:scaleType));
+	}
+
+	/**
+	 * Adds an alpha (i.e. fade) track.
+	 *
+	 * @param start when the track starts, in milliseconds from the start of the timeline
+	 * @param duration the track duration in milliseconds
+	 * @param fromAlpha the start alpha (from 0..1)
+	 * @param toAlpha the end alpha (from 0..1)
+	 * @param interpolator the interpolator to use (pass {@code null} to use the {@link AccelerateInterpolator} interpolator)
+	 * @return this timeline
+	 */
+	public TimelineAnimation addAlpha(long start, long duration, float fromAlpha, float toAlpha, Interpolator interpolator) {
+		return addTrack(new AlphaTrack(start, duration, interpolator, fromAlpha, toAlpha));
+	}
+
+	/**
+	 * Adds a translate (i.e. slide) track.
+	 *
+	 * @param start when the track starts, in milliseconds from the start of the timeline
+	 * @param duration the track duration in milliseconds
+	 * @param type how the values are interpreted: {@link Animation#ABSOLUTE}, {@link Animation#RELATIVE_TO_SELF} or {@link Animation#RELATIVE_TO_PARENT}
+	 * @param fromX the start x-axis offset
+	 * @param toX the end x-axis offset
+	 * @param fromY the start y-axis offset
+	 * @param toY the end y-axis offset
+	 * @param interpolator the interpolator to use (pass {@code null} to use the {@link AccelerateInterpolator} interpolator)
+	 * @return this timeline
+	 */
+	public TimelineAnimation addTranslate(long start, long duration, int type, float fromX, float toX, float fromY, float toY, Interpolator interpolator) {
+		return addTrack(new TranslateTrack(start, duration, interpolator, type, fromX, toX, fromY, toY));
+	}
+
+	/**
+	 * Adds a scale (i.e. zoom) track around the center of the view.
+	 *
+	 * @param start when the track starts, in milliseconds from the start of the timeline
+	 * @param duration the track duration in milliseconds
+	 * @param fromScale the start scale
+	 * @param toScale the end scale
+	 * @param interpolator the interpolator to use (pass {@code null} to use the {@link AccelerateInterpolator} interpolator)
+	 * @return this timeline
+	 */
+	public TimelineAnimation addScale(long start, long duration, float fromScale, float toScale, Interpolator interpolator) {
+		return addTrack(new ScaleTrack(start, duration, interpolator, fromScale, toScale));
+	}
+
+	private TimelineAnimation addTrack(Track track) {
+		mTracks.add(track);
+		if (track.start + track.duration > getDuration()) {
+			setDuration(track.start + track.duration);
+		}
+		return this;
+	}
+
+	@Override
+	public void initialize(int width, int height, int parentWidth, int parentHeight) {
+		super.initialize(width, height, parentWidth, parentHeight);
+		mCamera = new Camera();
+
+		for (int i = 0; i < mTracks.size(); i++) {
+			mTracks.get(i).initialize(this, width, height, parentWidth, parentHeight);
+		}
+	}
+
+	@Override
+	protected void applyTransformation(float interpolatedTime, Transformation t) {
+		final float time = interpolatedTime * getDuration();
+		final Matrix matrix = t.getMatrix();
+		float alpha = 1;
+
+		matrix.reset();
+
+		// preConcat in reverse, like AnimationSet, so the first track is applied to the view first
+		for (int i = mTracks.size() - 1; i >= 0; i--) {
+			final Track track = mTracks.get(i);
+			alpha *= track.apply(this, track.getInterpolation(time), matrix);
+		}
+
+		t.setAlpha(alpha);
+	}
+
+	private static abstract class Track {
+		final long start;
+		final long duration;
+		final Interpolator interpolator;
+
+		Track(long start, long duration, Interpolator interpolator) {
+			this.start = Math.max(start, 0);
+			this.duration = Math.max(duration, 0);
+			this.interpolator = interpolator==null?new AccelerateInterpolator():interpolator;
+		}
+
+		final float getInterpolation(float time) {
+			if (time < start) return interpolator.getInterpolation(0);
+			if (time >= start + duration) return interpolator.getInterpolation(1);
+
+			return interpolator.getInterpolation((time - start) / duration);
+		}
+
+		void initialize(TimelineAnimation timeline, int width, int height, int parentWidth, int parentHeight) {
+		}
+
+		/**
+		 * Applies this track at {@code value} (its interpolated progress) by pre-concatenating onto {@code matrix}.
+		 * @return the alpha of this track
+		 */
+		abstract float apply(TimelineAnimation timeline, float value, Matrix matrix);
+	}
+
+	private static abstract class MatrixTrack extends Track {
+		float centerX;
+		float centerY;
+
+		MatrixTrack(long start, long duration, Interpolator interpolator) {
+			super(start, duration, interpolator);
+		}
+
+		@Override
+		void initialize(TimelineAnimation timeline, int width, int height, int parentWidth, int parentHeight) {
+			centerX = width / 2.0f;
+			centerY = height / 2.0f;
+		}
+
+		@Override
+		final float apply(TimelineAnimation timeline, float value, Matrix matrix) {
+			getMatrix(timeline, value, timeline.mTrackMatrix);
+			matrix.preConcat(timeline.mTrackMatrix);
+			return 1;
+		}
+
+		abstract void getMatrix(TimelineAnimation timeline, float value, Matrix outMatrix);
+	}
+
+	private static final class AlphaTrack extends Track {
+		private final float fromAlpha;
+		private final float toAlpha;
+
+		AlphaTrack(long start, long duration, Interpolator interpolator, float fromAlpha, float toAlpha) {
+			super(start, duration, interpolator);
+			this.fromAlpha = fromAlpha;
+			this.toAlpha = toAlpha;
+		}
+
+		@Override
+		float apply(TimelineAnimation timeline, float value, Matrix matrix) {
+			return fromAlpha + (toAlpha - fromAlpha) * value;
+		}
+	}
+
+	private static final class FlipTrack extends MatrixTrack {
+		private final float fromDegrees;
+		private final float toDegrees;
+		private final int direction;
+		private final float scale;
+		private final FlipAnimation.ScaleUpDownEnum scaleType;
+
+		FlipTrack(long start, long duration, Interpolator interpolator, float fromDegrees, float toDegrees, int direction, float scale, FlipAnimation.ScaleUpDownEnum scaleType) {
+			super(start, duration, interpolator);
+			this.fromDegrees = fromDegrees;
+			this.toDegrees = toDegrees;
+			this.direction = direction;
+			this.scale = scale;
+			this.scaleType = scaleType;
+		}
+
+		@Override
+		void getMatrix(TimelineAnimation timeline, float value, Matrix outMatrix) {
+			FlipAnimation.applyFlip(timeline.mCamera, outMatrix, direction, fromDegrees + (toDegrees - fromDegrees) * value,
+					scaleType.getScale(scale, value), centerX, centerY);
+		}
+	}
+
+	private static final class TranslateTrack extends MatrixTrack {
+		private final int type;
+		private final float fromXValue;
+		private final float toXValue;
+		private final float fromYValue;
+		private final float toYValue;
+		private float fromX;
+		private float toX;
+		private float fromY;
+		private float toY;
+
+		TranslateTrack(long start, long duration, Interpolator interpolator, int type, float fromX, float toX, float fromY, float toY) {
+			super(start, duration, interpolator);
+			this.type = type;
+			this.fromXValue = fromX;
+			this.toXValue = toX;
+			this.fromYValue = fromY;
+			this.toYValue = toY;
+		}
+
+		@Override
+		void initialize(TimelineAnimation timeline, int width, int height, int parentWidth, int parentHeight) {
+			super.initialize(timeline, width, height, parentWidth, parentHeight);
+			fromX = timeline.resolveSize(type, fromXValue, width, parentWidth);
+			toX = timeline.resolveSize(type, toXValue, width, parentWidth);
+			fromY = timeline.resolveSize(type, fromYValue, height, parentHeight);
+			toY = timeline.resolveSize(type, toYValue, height, parentHeight);
+		}
+
+		@Override
+		void getMatrix(TimelineAnimation timeline, float value, Matrix outMatrix) {
+			outMatrix.setTranslate(fromX + (toX - fromX) * value, fromY + (toY - fromY) * value);
+		}
+	}
+
+	private static final class ScaleTrack extends MatrixTrack {
+		private final float fromScale;
+		private final float toScale;
+
+		ScaleTrack(long start, long duration, Interpolator interpolator, float fromScale, float toScale) {
+			super(start, duration, interpolator);
+			this.fromScale = fromScale;
+			this.toScale = toScale;
+		}
+
+		@Override
+		void getMatrix(TimelineAnimation timeline, float value, Matrix outMatrix) {
+			final float s = fromScale + (toScale - fromScale) * value;
+			outMatrix.setScale(s, s, centerX, centerY);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2012 Ephraim Tekle genzeb@gmail.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ *  @author Ephraim A. Tekle
+ *
+ */
+package com.tekle.oss.android.animation;
+
+import android.content.Context;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+import android.widget.FrameLayout;
+import android.widget.ViewAnimator;
+
+import com.tekle.oss.android.animation.AnimationFactory.FlipDirection;
+
+/**
+ * Counts the layout passes each {@link AnimationFactory} fade and flip transition triggers on the view's parent.
+ *
+ * @author Ephraim A. Tekle
+ *
+ */
+public class AnimationFactoryLayoutTest extends AndroidTestCase {
+
+	private static final int SIZE = 100;
+
+	private CountingLayout mParent;
+	private View mView;
+
+	/**
+	 * A parent that counts the layout requests its children propagate to it.
+	 */
+	private static class CountingLayout extends FrameLayout {
+		int layoutRequests;
+
+		CountingLayout(Context context) {
+			super(context);
+		}
+
+		@Override
+		public void requestLayout() {
+			layoutRequests++;
+			super.requestLayout();
+		}
+	}
+
+	/**
+	 * A {@code ViewAnimator} that counts the layout requests its children propagate to it.
+	 */
+	private static class CountingAnimator extends ViewAnimator {
+		int layoutRequests;
+
+		CountingAnimator(Context context) {
+			super(context);
+		}
+
+		@Override
+		public void requestLayout() {
+			layoutRequests++;
+			super.requestLayout();
+		}
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		mParent = new CountingLayout(getContext());
+		mView = new View(getContext());
+		mParent.addView(mView, new FrameLayout.LayoutParams(SIZE, SIZE));
+	}
+
+	public void testFadeOutKeepsLayout() {
+		assertEquals(0, layoutPasses(AnimationFactory.fadeOutAnimation(500, mView)));
+		assertEquals(View.INVISIBLE, mView.getVisibility());
+	}
+
+	public void testFadeOutCollapsesWhenAskedTo() {
+		assertEquals(1, layoutPasses(AnimationFactory.fadeOutAnimation(500, mView, true)));
+		assertEquals(View.GONE, mView.getVisibility());
+	}
+
+	public void testFadeInKeepsLayout() {
+		mView.setVisibility(View.INVISIBLE);
+		assertEquals(0, layoutPasses(AnimationFactory.fadeInAnimation(500, mView)));
+		assertEquals(View.VISIBLE, mView.getVisibility());
+	}
+
+	public void testFadeInThenOutKeepsLayout() {
+		AnimationFactory.fadeInThenOut(mView, 100);
+		assertEquals(0, layoutPasses(mView.getAnimation()));
+		assertEquals(View.INVISIBLE, mView.getVisibility());
+	}
+
+	public void testFadeInThenOutCollapsesWhenAskedTo() {
+		AnimationFactory.fadeInThenOut(mView, 100, true);
+		assertEquals(1, layoutPasses(mView.getAnimation()));
+		assertEquals(View.GONE, mView.getVisibility());
+	}
+
+	public void testFadesUseTheGivenDuration() {
+		assertEquals(250L, AnimationFactory.fadeInAnimation(250, mView).getDuration());
+		assertEquals(250L, AnimationFactory.fadeOutAnimation(250, mView).getDuration());
+		assertEquals(250L, AnimationFactory.fadeOutAnimation(250, mView, true).getDuration());
+	}
+
+	public void testFlipRequestsLayout() {
+		final CountingAnimator animator = newAnimator();
+
+		AnimationFactory.flipTransition(animator, FlipDirection.LEFT_RIGHT, 500);
+		assertTrue(animator.layoutRequests > 0);
+		assertEquals(1, animator.getDisplayedChild());
+	}
+
+	public void testLayoutStableFlipKeepsLayout() {
+		final CountingAnimator animator = newAnimator();
+
+		// the first flip makes the hidden child INVISIBLE rather than GONE, which is a one-time layout pass
+		AnimationFactory.flipTransition(animator, FlipDirection.LEFT_RIGHT, 500, true);
+		layOut(animator);
+		animator.layoutRequests = 0;
+
+		AnimationFactory.flipTransition(animator, FlipDirection.LEFT_RIGHT, 500, true);
+		AnimationFactory.springFlipTransition(animator, FlipDirection.LEFT_RIGHT, SpringInterpolator.STIFFNESS_DEFAULT, SpringInterpolator.DAMPING_RATIO_DEFAULT, true);
+		assertEquals(0, animator.layoutRequests);
+		assertEquals(View.INVISIBLE, animator.getChildAt(0).getVisibility());
+		assertEquals(View.VISIBLE, animator.getChildAt(1).getVisibility());
+	}
+
+	public void testLayoutStableAtlasFlipKeepsLayout() {
+		final CountingAnimator animator = newAnimator();
+		final SnapshotAtlas atlas = new SnapshotAtlas(1024 * 1024);
+
+		// the first flip makes the hidden child INVISIBLE and installs the atlas as the foreground, a one-time layout pass
+		AnimationFactory.flipTransition(animator, FlipDirection.LEFT_RIGHT, 500, atlas, true);
+		layOut(animator);
+		animator.layoutRequests = 0;
+
+		AnimationFactory.flipTransition(animator, FlipDirection.LEFT_RIGHT, 500, atlas, true);
+		AnimationFactory.flipTransition(animator, FlipDirection.LEFT_RIGHT, 500, atlas, true);
+		assertEquals(0, animator.layoutRequests);
+
+		// the shown child stays hidden behind its snapshot until the flip ends
+		atlas.endFlip(animator);
+		assertEquals(View.INVISIBLE, animator.getChildAt(0).getVisibility());
+		assertEquals(View.VISIBLE, animator.getChildAt(1).getVisibility());
+		atlas.release();
+	}
+
+	/**
+	 * Creates a laid out {@code ViewAnimator} showing the first of two children.
+	 */
+	private CountingAnimator newAnimator() {
+		final CountingAnimator animator = new CountingAnimator(getContext());
+		animator.addView(new View(getContext()));
+		animator.addView(new View(getContext()));
+		layOut(animator);
+		animator.layoutRequests = 0;
+		return animator;
+	}
+
+	private static void layOut(View view) {
+		final int spec = MeasureSpec.makeMeasureSpec(SIZE, MeasureSpec.EXACTLY);
+		view.measure(spec, spec);
+		view.layout(0, 0, SIZE, SIZE);
+	}
+
+	/**
+	 * Lays the parent out, then runs {@code animation} from start to end the way a frame loop would.
+	 * @return the number of layout passes requested while the animation ran
+	 */
+	private int layoutPasses(Animation animation) {
+		layOut(mParent);
+		mParent.layoutRequests = 0;
+
+		final Transformation t = new Transformation();
+		animation.initialize(SIZE, SIZE, SIZE, SIZE);
+		animation.setStartTime(0);
+		for (long time = 0; animation.getTransformation(time, t); time += 16) {
+			// keep drawing frames until the animation ends
+		}
+
+		return mParent.layoutRequests;
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2012 Ephraim Tekle genzeb@gmail.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ *  @author Ephraim A. Tekle
+ *
+ */
+package com.tekle.oss.android.animation;
+
+import android.test.AndroidTestCase;
+
+/**
+ * Checks the closed-form spring of {@link SpringInterpolator}: its settle time, the continuity of its segments and {@link SpringInterpolator#findInput(float)}.
+ *
+ * @author Ephraim A. Tekle
+ *
+ */
+public class SpringInterpolatorTest extends AndroidTestCase {
+
+	private static final float STIFFNESS = 200;
+	private static final double THRESHOLD = 0.001;
+	private static final float EPSILON = 1e-3f;
+
+	public void testUnderDampedSettleTime() {
+		final double w = Math.sqrt(STIFFNESS);
+		final double zeta = 0.5;
+		// from rest, the envelope is e^(-zeta*w*t) * sqrt(1 + (zeta/sqrt(1 - zeta^2))^2)
+		final double amplitude = Math.sqrt(1 + zeta*zeta / (1 - zeta*zeta));
+		final double settleTime = Math.log(amplitude / THRESHOLD) / (zeta*w);
+
+		final SpringInterpolator spring = new SpringInterpolator(STIFFNESS, (float)zeta);
+		assertEquals(Math.round(settleTime * 1000), spring.getSettleDuration());
+		assertSettled(spring);
+	}
+
+	public void testCriticallyDampedSettleTime() {
+		final SpringInterpolator spring = new SpringInterpolator(STIFFNESS, 1);
+		// from rest, the displacement is (1 + w*t) * e^(-w*t), which reaches the threshold at the settle time
+		final double wt = Math.sqrt(STIFFNESS) * spring.getSettleDuration() / 1000.0;
+		assertEquals(THRESHOLD, (1 + wt) * Math.exp(-wt), THRESHOLD * 0.01);
+		assertSettled(spring);
+		assertNoOvershoot(spring);
+	}
+
+	public void testOverDampedSettleTime() {
+		final double w = Math.sqrt(STIFFNESS);
+		final double zeta = 2;
+		// from rest, A*e^(r1*t) + B*e^(r2*t) with the slower decay r1 bounding the settle time
+		final double r1 = -w * (zeta - Math.sqrt(zeta*zeta - 1));
+		final double r2 = -w * (zeta + Math.sqrt(zeta*zeta - 1));
+		final double b = -r1 / (r2 - r1);
+		final double a = 1 - b;
+		final double settleTime = Math.log((Math.abs(a) + Math.abs(b)) / THRESHOLD) / -r1;
+
+		final SpringInterpolator spring = new SpringInterpolator(STIFFNESS, (float)zeta);
+		assertEquals(Math.round(settleTime * 1000), spring.getSettleDuration());
+		assertSettled(spring);
+		assertNoOvershoot(spring);
+	}
+
+	public void testInvalidParametersUseTheDefaults() {
+		assertEquals(new SpringInterpolator(SpringInterpolator.STIFFNESS_DEFAULT, SpringInterpolator.DAMPING_RATIO_DEFAULT).getSettleDuration(),
+				new SpringInterpolator(0, -1).getSettleDuration());
+	}
+
+	public void testSegmentsContinueEachOther() {
+		final SpringInterpolator spring = new SpringInterpolator(STIFFNESS, 0.75f, 2);
+		final float edge = 0.2f;
+		final SpringInterpolator first = spring.segment(0, edge);
+		final SpringInterpolator second = spring.segment(edge, 1);
+		final float split = spring.getInterpolation(edge);
+
+		// positions, mapped back onto the whole spring
+		for (int i = 0; i <= 10; i++) {
+			final float input = i / 10f;
+			assertEquals(spring.getInterpolation(input * edge), first.getInterpolation(input) * split, EPSILON);
+			assertEquals(spring.getInterpolation(edge + input * (1 - edge)), split + second.getInterpolation(input) * (1 - split), EPSILON);
+		}
+		assertEquals(1, first.getInterpolation(1), EPSILON);
+		assertEquals(0, second.getInterpolation(0), EPSILON);
+
+		// velocities, in fractions of the whole travel per second
+		final float velocity = spring.getVelocity(edge);
+		assertEquals(velocity, first.getVelocity(1) * split, Math.abs(velocity) * EPSILON);
+		assertEquals(velocity, second.getVelocity(0) * (1 - split), Math.abs(velocity) * EPSILON);
+		assertEquals(2, spring.getVelocity(0), EPSILON);
+
+		// and together they last as long as the whole spring
+		assertEquals(spring.getSettleDuration(), first.getSettleDuration() + second.getSettleDuration(), 1);
+	}
+
+	public void testFindInputReturnsTheFirstCrossing() {
+		final SpringInterpolator spring = new SpringInterpolator(STIFFNESS, 0.5f);
+
+		final float edgeOn = spring.findInput(0.5f);
+		assertEquals(0.5f, spring.getInterpolation(edgeOn), EPSILON);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(spring.getInterpolation(edgeOn * i / 100) < 0.5f);
+		}
+
+		// the under-damped spring reaches its target well before it settles
+		final float target = spring.findInput(1);
+		assertTrue(target > edgeOn && target < 0.5f);
+		assertEquals(1, spring.getInterpolation(target), EPSILON);
+
+		assertEquals(0, spring.findInput(0), 0);
+	}
+
+	/**
+	 * The spring is within the threshold of its target by the end of its input.
+	 */
+	private static void assertSettled(SpringInterpolator spring) {
+		assertEquals(1, spring.getInterpolation(0.999f), THRESHOLD * 1.1);
+		assertEquals(1, spring.getInterpolation(1), 0);
+		assertEquals(0, spring.getVelocity(1), 0);
+	}
+
+	private static void assertNoOvershoot(SpringInterpolator spring) {
+		for (int i = 0; i <= 100; i++) {
+			assertTrue(spring.getInterpolation(i / 100f) <= 1);
+		}
+	}
+}
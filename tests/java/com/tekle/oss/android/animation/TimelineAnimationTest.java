@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2012 Ephraim Tekle genzeb@gmail.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ *  @author Ephraim A. Tekle
+ *
+ */
+package com.tekle.oss.android.animation;
+
+import android.graphics.Matrix;
+import android.test.AndroidTestCase;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.AlphaAnimation;
+import android.view.animation.Animation;
+import android.view.animation.AnimationSet;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+import android.view.animation.ScaleAnimation;
+import android.view.animation.Transformation;
+import android.view.animation.TranslateAnimation;
+
+/**
+ * Compares {@link TimelineAnimation} frames with those of the equivalent {@link AnimationSet}.
+ *
+ * @author Ephraim A. Tekle
+ *
+ */
+public class TimelineAnimationTest extends AndroidTestCase {
+
+	private static final int SIZE = 100;
+	private static final int PARENT_SIZE = 400;
+	private static final float EPSILON = 1e-3f;
+
+	// before some tracks start, while they overlap, as they end and long after the last one ends
+	private static final long[] TIMES = { 0, 60, 150, 250, 300, 420, 1000 };
+
+	public void testMatchesAnimationSet() {
+		final Interpolator linear = new LinearInterpolator();
+		final Interpolator decelerate = new DecelerateInterpolator();
+		final Interpolator accelerate = new AccelerateInterpolator();
+
+		final TimelineAnimation timeline = new TimelineAnimation()
+			.addTranslate(0, 300, Animation.RELATIVE_TO_PARENT, 0, 0.1f, 0, -0.05f, linear)
+			.addFlip(100, 200, 0, 60, FlipAnimation.ROTATION_Y, FlipAnimation.SCALE_DEFAULT, FlipAnimation.ScaleUpDownEnum.SCALE_DOWN, decelerate)
+			.addScale(150, 250, 1, 0.5f, accelerate)
+			.addAlpha(0, 100, 0.5f, 1, linear)
+			.addAlpha(50, 300, 1, 0.2f, accelerate);
+
+		// the same tracks, in the same order
+		final AnimationSet set = new AnimationSet(false);
+		set.addAnimation(track(new TranslateAnimation(Animation.RELATIVE_TO_PARENT, 0, Animation.RELATIVE_TO_PARENT, 0.1f,
+				Animation.RELATIVE_TO_PARENT, 0, Animation.RELATIVE_TO_PARENT, -0.05f), 0, 300, linear));
+		final FlipAnimation flip = new FlipAnimation(0, 60, SIZE / 2.0f, SIZE / 2.0f, FlipAnimation.SCALE_DEFAULT, FlipAnimation.ScaleUpDownEnum.SCALE_DOWN);
+		flip.setDirection(FlipAnimation.ROTATION_Y);
+		set.addAnimation(track(flip, 100, 200, decelerate));
+		set.addAnimation(track(new ScaleAnimation(1, 0.5f, 1, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f), 150, 250, accelerate));
+		set.addAnimation(track(new AlphaAnimation(0.5f, 1), 0, 100, linear));
+		set.addAnimation(track(new AlphaAnimation(1, 0.2f), 50, 300, accelerate));
+
+		assertEquals(400L, timeline.getDuration());
+		assertSameFrames(set, timeline);
+	}
+
+	public void testTrackOrderMatters() {
+		final TimelineAnimation translateThenScale = new TimelineAnimation()
+			.addTranslate(0, 100, Animation.ABSOLUTE, 0, 40, 0, 0, null)
+			.addScale(0, 100, 1, 0.5f, null);
+		final TimelineAnimation scaleThenTranslate = new TimelineAnimation()
+			.addScale(0, 100, 1, 0.5f, null)
+			.addTranslate(0, 100, Animation.ABSOLUTE, 0, 40, 0, 0, null);
+
+		final Transformation first = frame(translateThenScale, 100);
+		final Transformation second = frame(scaleThenTranslate, 100);
+
+		// scaling around the center after the translation halves it, scaling first doesn't
+		assertEquals(45, translate(first.getMatrix()), EPSILON);
+		assertEquals(65, translate(second.getMatrix()), EPSILON);
+	}
+
+	public void testZeroDurationTrackJumpsAtItsStart() {
+		final TimelineAnimation timeline = new TimelineAnimation()
+			.addAlpha(0, 200, 1, 1, null)
+			.addScale(100, 0, 1, 0.5f, null);
+
+		final Matrix halved = new Matrix();
+		halved.setScale(0.5f, 0.5f, SIZE / 2.0f, SIZE / 2.0f);
+
+		// unlike in an AnimationSet, where a zero-duration child ignores its start offset
+		timeline.initialize(SIZE, SIZE, PARENT_SIZE, PARENT_SIZE);
+		timeline.setStartTime(0);
+		final Transformation t = new Transformation();
+		timeline.getTransformation(99, t);
+		assertSameMatrix(new Matrix(), t.getMatrix());
+		timeline.getTransformation(100, t);
+		assertSameMatrix(halved, t.getMatrix());
+		timeline.getTransformation(200, t);
+		assertSameMatrix(halved, t.getMatrix());
+	}
+
+	private static Animation track(Animation animation, long start, long duration, Interpolator interpolator) {
+		animation.setStartOffset(start);
+		animation.setDuration(duration);
+		animation.setInterpolator(interpolator);
+		return animation;
+	}
+
+	private static Transformation frame(Animation animation, long time) {
+		animation.initialize(SIZE, SIZE, PARENT_SIZE, PARENT_SIZE);
+		animation.setStartTime(0);
+		final Transformation t = new Transformation();
+		animation.getTransformation(time, t);
+		return t;
+	}
+
+	private static float translate(Matrix matrix) {
+		final float[] values = new float[9];
+		matrix.getValues(values);
+		return values[Matrix.MTRANS_X];
+	}
+
+	private static void assertSameFrames(Animation expected, Animation actual) {
+		expected.initialize(SIZE, SIZE, PARENT_SIZE, PARENT_SIZE);
+		actual.initialize(SIZE, SIZE, PARENT_SIZE, PARENT_SIZE);
+		expected.setStartTime(0);
+		actual.setStartTime(0);
+
+		final Transformation expectedFrame = new Transformation();
+		final Transformation actualFrame = new Transformation();
+		for (int i = 0; i < TIMES.length; i++) {
+			expectedFrame.clear();
+			actualFrame.clear();
+			expected.getTransformation(TIMES[i], expectedFrame);
+			actual.getTransformation(TIMES[i], actualFrame);
+
+			assertEquals(expectedFrame.getAlpha(), actualFrame.getAlpha(), EPSILON);
+			assertSameMatrix(expectedFrame.getMatrix(), actualFrame.getMatrix());
+		}
+	}
+
+	private static void assertSameMatrix(Matrix expected, Matrix actual) {
+		final float[] expectedValues = new float[9];
+		final float[] actualValues = new float[9];
+		expected.getValues(expectedValues);
+		actual.getValues(actualValues);
+
+		for (int i = 0; i < 9; i++) {
+			assertEquals(expectedValues[i], actualValues[i], EPSILON);
+		}
+	}
+}